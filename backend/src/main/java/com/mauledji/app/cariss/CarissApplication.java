@@ -2,8 +2,14 @@ package com.mauledji.app.cariss;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.mauledji.app.cariss.config.ReplicaDataSourceProperties;
 
 @SpringBootApplication
+@EnableScheduling // Tareas periódicas (índice de disponibilidad)
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class) // También sin réplica: ReadYourWritesTracker lo usa
 public class CarissApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,20 @@
+package com.mauledji.app.cariss.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Propiedades del hash de contraseñas (prefijo app.password en application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.password")
+public class PasswordHashingProperties {
+
+    private String encoder = "bcrypt"; // Algoritmo para hashes nuevos: bcrypt o pbkdf2@SpringSecurity_v5_8
+    private long targetHashMs = 150;   // Tiempo objetivo por hash al calibrar el costo de BCrypt
+    private int minCost = 10;          // Costo mínimo de BCrypt (nunca se calibra por debajo)
+    private int maxCost = 14;          // Costo máximo de BCrypt
+    private int cost = 0;              // Costo fijo de BCrypt; si es 0 se calibra al arrancar
+    private int rehashTolerance = 1;   // Diferencia de costo tolerada antes de rehacer un hash en el login
+}
@@ -0,0 +1,139 @@
+package com.mauledji.app.cariss.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Sirve los archivos del frontend desde memoria, eligiendo la variante .br o .gz generada en el build
+ * (scripts/precompress.js) según el Accept-Encoding del navegador.
+ * Cada archivo del jar se lee una sola vez; los de disco solo se vuelven a leer si cambian.
+ */
+public class PrecompressedResourceResolver extends AbstractResourceResolver {
+
+    // Codificaciones soportadas, en orden de preferencia, con la extensión de su variante
+    private static final String[][] CODINGS = { { "br", ".br" }, { "gzip", ".gz" } };
+
+    // Marca en caché las variantes que no existen (por ejemplo, imágenes sin .br)
+    private static final CachedAsset MISSING = new CachedAsset(new byte[0], null, 0, 0, null);
+
+    // Contenido ya cargado, por recurso original y codificación
+    private final Map<String, CachedAsset> cache = new ConcurrentHashMap<>();
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource original = chain.resolveResource(request, requestPath, locations);
+        if (original == null) {
+            return null;
+        }
+
+        String acceptEncoding = request != null ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null;
+        for (String[] coding : CODINGS) {
+            if (accepts(acceptEncoding, coding[0])) {
+                CachedAsset asset = load(original, coding[0], coding[1]);
+                if (asset != null) {
+                    return asset;
+                }
+            }
+        }
+        return load(original, null, "");
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    // Devuelve la variante en memoria, cargándola la primera vez; null si esa variante no existe.
+    // Los recursos del jar no cambian; los archivos en disco (app.frontend.location=file:... en desarrollo)
+    // se vuelven a leer si su fecha cambió, por ejemplo tras un nuevo npm run build.
+    private CachedAsset load(Resource original, String coding, String extension) {
+        String key = original.getDescription() + extension;
+        boolean onDisk = original.isFile();
+        CachedAsset cached = cache.get(key);
+        try {
+            Resource variant = coding == null ? original : original.createRelative(original.getFilename() + extension);
+            if (cached != null && (!onDisk || (cached != MISSING && cached.sourceModified == variant.lastModified()))) {
+                return cached == MISSING ? null : cached;
+            }
+            if (!variant.isReadable()) {
+                cache.put(key, MISSING);
+                return null;
+            }
+            long sourceModified = variant.lastModified();
+            try (InputStream in = variant.getInputStream()) {
+                CachedAsset asset = new CachedAsset(in.readAllBytes(), original.getFilename(),
+                        original.lastModified(), sourceModified, coding);
+                cache.put(key, asset);
+                return asset;
+            }
+        } catch (IOException e) {
+            // La variante no existe (o se borró entre un build y otro)
+            logger.debug("Could not load " + original.getDescription() + extension, e);
+            cache.remove(key);
+            return null;
+        }
+    }
+
+    // Comprueba si el navegador acepta la codificación (ignora las marcadas con q=0)
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(coding)) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Archivo en memoria con el nombre y fecha del original, para que el tipo MIME y Last-Modified sean correctos
+    private static final class CachedAsset extends ByteArrayResource implements HttpResource {
+
+        private final String filename;
+        private final long lastModified;
+        private final long sourceModified; // Fecha del archivo leído (la variante), para detectar cambios
+        private final HttpHeaders headers = new HttpHeaders();
+
+        CachedAsset(byte[] content, String filename, long lastModified, long sourceModified, String coding) {
+            super(content, filename);
+            this.filename = filename;
+            this.lastModified = lastModified;
+            this.sourceModified = sourceModified;
+            if (coding != null) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, coding);
+            }
+            headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mauledji.app.cariss.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.mauledji.app.cariss.datasource.ReadYourWritesTracker;
+import com.mauledji.app.cariss.datasource.ReplicaLagMonitor;
+import com.mauledji.app.cariss.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Configuración de la réplica de lectura. Solo se activa si app.datasource.replica.url está definida;
+// si no, Spring Boot crea el DataSource único de siempre con spring.datasource.*
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    // Pool del primario, con las mismas propiedades spring.datasource.* y spring.datasource.hikari.*
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Tiempo máximo para obtener una conexión de la réplica antes de volver al primario
+    static final long REPLICA_CONNECTION_TIMEOUT_MS = 2000;
+
+    // Pool de la réplica (app.datasource.replica.hikari.* para ajustar su tamaño y tiempos)
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .driverClassName(properties.getDriverClassName())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        // Una réplica colgada no debe retener cada lectura los 30 s por defecto de Hikari;
+        // se fija antes de enlazar app.datasource.replica.hikari.*, que puede cambiarlo
+        dataSource.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+        dataSource.setValidationTimeout(REPLICA_CONNECTION_TIMEOUT_MS / 2);
+        return dataSource;
+    }
+
+    // Revisa el retraso en su propio hilo cada app.datasource.replica.lag-check-interval-ms
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(replicaDataSource, properties.getLagQuery(), properties.getLagColumn(),
+                properties.getMaxLagSeconds(), properties.getLagCheckIntervalMs());
+    }
+
+    // DataSource principal de la aplicación: JPA y los repositorios lo usan sin saber de la réplica
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        // Con open-in-view la sesión JPA (y su conexión) dura toda la petición: la primera lectura readOnly
+        // dejaría la conexión fijada en la réplica y las escrituras siguientes de esa petición irían a ella
+        if (openInView) {
+            throw new IllegalStateException(
+                    "spring.jpa.open-in-view must be false when app.datasource.replica.url is set");
+        }
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mauledji.app.cariss.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Propiedades de la réplica de lectura (prefijo app.datasource.replica en application.properties)
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private String url;               // URL JDBC de la réplica. Si no se define, todo va al primario.
+    private String username;
+    private String password;
+    private String driverClassName;
+
+    private long maxLagSeconds = 5;   // Retraso máximo tolerado antes de volver al primario
+    private String lagQuery = "SHOW REPLICA STATUS"; // Consulta que informa el retraso de replicación
+    private String lagColumn = "Seconds_Behind_Source"; // Columna (en segundos) leída de esa consulta
+    private long lagCheckIntervalMs = 2000; // Cada cuánto se revisa el retraso
+    private long stickyWindowMs = 5000; // Tiempo que un usuario lee del primario tras escribir
+}
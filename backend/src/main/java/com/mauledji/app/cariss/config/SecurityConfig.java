@@ -1,9 +1,14 @@
 package com.mauledji.app.cariss.config;
 
+import com.mauledji.app.cariss.security.BCryptCostCalibrator;
+import com.mauledji.app.cariss.security.CalibratedPasswordEncoder;
+import com.mauledji.app.cariss.security.JwtCodec;
 import com.mauledji.app.cariss.security.JwtUtil;
 import com.mauledji.app.cariss.security.RateLimitingFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -15,7 +20,7 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
@@ -27,6 +32,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @Configuration // Clase de configuración de seguridad
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
@@ -38,10 +44,16 @@ public class SecurityConfig {
         this.rateLimitingFilter = rateLimitingFilter;
     }
 
-    // Bean que codifica contraseñas usando BCrypt (ideal para almacenamiento seguro)
+    // Bean que codifica contraseñas (BCrypt por defecto) con el costo calibrado al hardware al arrancar;
+    // los hashes guardados con otros parámetros se rehacen en el siguiente login
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // 12 rondas de hash
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int cost = properties.getCost() > 0
+                ? properties.getCost()
+                : BCryptCostCalibrator.calibrate(properties.getTargetHashMs(),
+                                                 properties.getMinCost(), properties.getMaxCost());
+        return new CalibratedPasswordEncoder(properties.getEncoder(), cost,
+                                             properties.getRehashTolerance(), meterRegistry);
     }
 
     // Configuración de CORS desde Spring Security
@@ -84,7 +96,11 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Permitir preflight OPTIONS
                 .requestMatchers("/", "/index.html", "/register.html", "/home.html", "/favicon.ico",
-                                 "/api/auth/**", "/css/**", "/js/**", "/images/**").permitAll() // rutas públicas
+                                 "/api/auth/**", "/css/**", "/js/**", "/images/**",
+                                 "/actuator/health/**").permitAll() // rutas públicas (incluye sondas de salud)
+                .requestMatchers(HttpMethod.GET, "/static/**", "/manifest.json", "/asset-manifest.json",
+                                 "/robots.txt", "/logo192.png", "/logo512.png",
+                                 "/login", "/register", "/home").permitAll() // build y rutas del frontend (React)
                 .anyRequest().authenticated() // todo lo demás requiere autenticación
             )
 
@@ -115,8 +131,9 @@ public class SecurityConfig {
                 // Si el token es válido, se establece el usuario en el contexto de seguridad
                 if (authHeader != null && authHeader.startsWith("Bearer ")) {
                     String token = authHeader.substring(7);
-                    if (jwtUtil.validateToken(token)) {
-                        String username = jwtUtil.extractUsername(token);
+                    JwtCodec.DecodedToken decoded = jwtUtil.parseToken(token); // Verifica y lee el token una sola vez
+                    if (decoded != null) {
+                        String username = decoded.subject();
                         UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(username, null, null);
                         SecurityContextHolder.getContext().setAuthentication(authentication);
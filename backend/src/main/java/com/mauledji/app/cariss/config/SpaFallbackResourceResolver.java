@@ -0,0 +1,43 @@
+package com.mauledji.app.cariss.config;
+
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Devuelve index.html para las rutas del frontend (/login, /register, /home...) que no son archivos,
+ * así React Router las resuelve en el navegador. Las rutas de la API nunca caen aquí.
+ */
+public class SpaFallbackResourceResolver extends AbstractResourceResolver {
+
+    private static final String INDEX = "index.html";
+
+    @Override
+    protected Resource resolveResourceInternal(HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource != null || !isClientRoute(requestPath)) {
+            return resource;
+        }
+        return chain.resolveResource(request, INDEX, locations);
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    // Una ruta del cliente no tiene extensión y no pertenece a la API ni al actuator
+    private static boolean isClientRoute(String path) {
+        if (path.startsWith("api/") || path.startsWith("actuator/")) {
+            return false;
+        }
+        int lastSlash = path.lastIndexOf('/');
+        return path.indexOf('.', lastSlash + 1) < 0;
+    }
+}
@@ -0,0 +1,154 @@
+package com.mauledji.app.cariss.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mauledji.app.cariss.repository.UserRepo;
+import com.mauledji.app.cariss.security.CalibratedPasswordEncoder;
+import com.mauledji.app.cariss.security.JwtUtil;
+import com.mauledji.app.cariss.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Calienta la aplicación antes de recibir tráfico: ejecuta BCrypt, la firma/verificación JWT
+ * y las consultas de usuarios para que el JIT y Hibernate las compilen, y llena los pools de conexiones.
+ * Spring Boot marca la instancia como lista (ReadinessState.ACCEPTING_TRAFFIC) solo después de que
+ * terminan los ApplicationRunner, así que /actuator/health/readiness responde 503 mientras dura.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    // Datos sintéticos: no corresponden a ningún usuario real
+    private static final String WARMUP_USERNAME = "__warmup__";
+    private static final String WARMUP_EMAIL = "__warmup__@warmup.invalid";
+    private static final String WARMUP_PASSWORD = "Warmup#Passw0rd";
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.password-iterations:4}")
+    private int passwordIterations;
+
+    @Value("${app.warmup.jwt-iterations:1000}")
+    private int jwtIterations;
+
+    @Value("${app.warmup.query-iterations:100}")
+    private int queryIterations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        runPhase("connection-pool", this::fillConnectionPools);
+        runPhase("password-hash", this::warmPasswordEncoder);
+        runPhase("jwt", this::warmJwt);
+        runPhase("user-queries", this::warmUserQueries);
+
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("cariss.warmup").record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Warm-up completed in {} ms, reporting ready", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Ejecuta una fase, registra su duración y nunca impide el arranque si falla
+    private void runPhase(String phase, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up phase '{}' failed: {}", phase, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        meterRegistry.timer("cariss.warmup.phase", "phase", phase).record(elapsed, TimeUnit.NANOSECONDS);
+        logger.debug("Warm-up phase '{}' took {} ms", phase, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Abre a la vez tantas conexiones como el mínimo de cada pool y las devuelve, dejándolas listas
+    private void fillConnectionPools() {
+        for (HikariDataSource pool : applicationContext.getBeansOfType(HikariDataSource.class).values()) {
+            List<Connection> connections = new ArrayList<>();
+            try {
+                // La primera conexión arranca el pool y fija sus valores por defecto (mínimo y máximo)
+                connections.add(pool.getConnection());
+                int size = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+                for (int i = 1; i < size; i++) {
+                    connections.add(pool.getConnection());
+                }
+            } catch (SQLException e) {
+                logger.warn("Could not pre-fill pool {}: {}", pool.getPoolName(), e.getMessage());
+            } finally {
+                for (Connection connection : connections) {
+                    try {
+                        connection.close(); // Vuelve al pool
+                    } catch (SQLException ignored) {
+                        // La conexión se descarta; Hikari repondrá otra
+                    }
+                }
+            }
+        }
+    }
+
+    // Codifica y verifica contraseñas para compilar el código de BCrypt, con el mismo algoritmo y costo
+    // pero sin pasar por los timers de cariss.password.hash, que deben medir solo logins y registros reales
+    private void warmPasswordEncoder() {
+        PasswordEncoder encoder = passwordEncoder instanceof CalibratedPasswordEncoder calibrated
+                ? calibrated.withoutMetrics()
+                : passwordEncoder;
+        String hash = encoder.encode(WARMUP_PASSWORD);
+        for (int i = 0; i < passwordIterations; i++) {
+            encoder.matches(WARMUP_PASSWORD, hash);
+        }
+    }
+
+    // Firma y verifica tokens para compilar el código HMAC y el codec JWT
+    private void warmJwt() {
+        for (int i = 0; i < jwtIterations; i++) {
+            String token = jwtUtil.generateToken(WARMUP_USERNAME, "Warm Up");
+            if (jwtUtil.validateToken(token)) {
+                jwtUtil.extractUsername(token);
+            }
+        }
+    }
+
+    // Ejecuta las consultas del login y del registro para preparar Hibernate y los pools
+    private void warmUserQueries() {
+        for (int i = 0; i < queryIterations; i++) {
+            userService.findByUsernameOrEmail(WARMUP_USERNAME);
+            userRepo.existsByUsername(WARMUP_USERNAME);
+            userRepo.existsByUserEmail(WARMUP_EMAIL);
+        }
+    }
+}
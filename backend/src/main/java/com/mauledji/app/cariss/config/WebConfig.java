@@ -1,8 +1,13 @@
 package com.mauledji.app.cariss.config;
 
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration // Indica que esta clase es una clase de configuración de Spring.
@@ -22,4 +27,27 @@ public class WebConfig {
             }
         };
     }
+
+    // Sirve el build del frontend (React). Los archivos de /static/ llevan hash en el nombre,
+    // así que se cachean un año sin revalidar; el resto (index.html, manifest...) se revalida siempre.
+    @Bean
+    public WebMvcConfigurer frontendResourcesConfigurer(@Value("${app.frontend.location:classpath:/static/}") String location) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addResourceHandlers(ResourceHandlerRegistry registry) {
+                registry.addResourceHandler("/static/**")
+                        .addResourceLocations(location + "static/")
+                        .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                        .resourceChain(false)
+                        .addResolver(new PrecompressedResourceResolver());
+
+                registry.addResourceHandler("/**")
+                        .addResourceLocations(location)
+                        .setCacheControl(CacheControl.noCache())
+                        .resourceChain(false)
+                        .addResolver(new PrecompressedResourceResolver())
+                        .addResolver(new SpaFallbackResourceResolver()); // Rutas de React Router -> index.html
+            }
+        };
+    }
 }
@@ -6,12 +6,14 @@ import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.mauledji.app.cariss.dto.LoginRequest;
@@ -19,6 +21,7 @@ import com.mauledji.app.cariss.dto.RegisterRequest;
 import com.mauledji.app.cariss.model.User;
 import com.mauledji.app.cariss.repository.UserRepo;
 import com.mauledji.app.cariss.security.JwtUtil;
+import com.mauledji.app.cariss.service.UserService;
 import com.mauledji.app.cariss.util.PasswordValidator;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -39,11 +42,14 @@ public class AuthController {
     @Autowired
     private UserRepo userRepo; // Acceso a base de datos de usuarios
 
+    @Autowired
+    private UserService userService; // Lecturas, registro y disponibilidad de usuarios
+
     @Autowired
     private JwtUtil jwtUtil; // Herramienta para generar y validar tokens JWT
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder; // Encriptador de contraseñas
+    private PasswordEncoder passwordEncoder; // Encriptador de contraseñas
 
     @PostMapping("/login") // Ruta POST: /api/auth/login
     public ResponseEntity<?> login(
@@ -66,10 +72,7 @@ public class AuthController {
         }
 
         // Intenta buscar el usuario por username, luego por email si no lo encuentra
-        Optional<User> userOptional = userRepo.findByUsername(input);
-        if (userOptional.isEmpty()) {
-            userOptional = userRepo.findByUserEmail(input);
-        }
+        Optional<User> userOptional = userService.findByUsernameOrEmail(input);
 
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -78,6 +81,18 @@ public class AuthController {
             if (passwordEncoder.matches(password, user.getUserPassword())) {
                 loginAttempts.remove(input); // Reinicia el contador de intentos
 
+                // Si el hash se generó con otro algoritmo o costo, se rehace ahora que se conoce la contraseña
+                if (passwordEncoder.upgradeEncoding(user.getUserPassword())) {
+                    try {
+                        if (userService.rehashPassword(user, password)) {
+                            logger.info("Password hash upgraded for user: {}", user.getUsername());
+                        }
+                    } catch (RuntimeException e) {
+                        // El login no falla por esto; se reintentará en el próximo
+                        logger.warn("Could not upgrade password hash for user {}: {}", user.getUsername(), e.getMessage());
+                    }
+                }
+
                 // Genera token JWT para el usuario autenticado con su nombre completo
                 String token = jwtUtil.generateToken(user.getUsername(), user.getUserFullName());
 
@@ -120,13 +135,33 @@ public class AuthController {
         user.setUsername(registerRequest.getUsername());
         user.setUserFullName(registerRequest.getUserFullName());
         user.setUserEmail(registerRequest.getUserEmail());
-        user.setUserPassword(passwordEncoder.encode(registerRequest.getUserPassword())); // Encripta la contraseña
+        user.setUserPassword(registerRequest.getUserPassword());
 
-        userRepo.save(user);
+        userService.createUser(user); // Encripta la contraseña y guarda el usuario
         logger.info("New user registered: {}", user.getUsername());
         return ResponseEntity.ok("User registered successfully");
     }
 
+    @GetMapping("/availability") // Ruta GET: /api/auth/availability?username=...&email=...
+    public ResponseEntity<?> checkAvailability(
+            @RequestParam(required = false) String username, // Username a verificar (opcional)
+            @RequestParam(required = false) String email // Email a verificar (opcional)
+    ) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return ResponseEntity.badRequest().body("Username or email is required");
+        }
+
+        // Responde solo por los campos consultados: true si está libre, false si ya existe
+        Map<String, Boolean> response = new HashMap<>();
+        if (username != null && !username.isBlank()) {
+            response.put("username", userService.isUsernameAvailable(username));
+        }
+        if (email != null && !email.isBlank()) {
+            response.put("email", userService.isEmailAvailable(email));
+        }
+        return ResponseEntity.ok(response);
+    }
+
     // Verifica si un usuario superó el límite de intentos de login fallidos
     private boolean isAccountLocked(String username) {
         return loginAttempts.getOrDefault(username, 0) >= MAX_LOGIN_ATTEMPTS;
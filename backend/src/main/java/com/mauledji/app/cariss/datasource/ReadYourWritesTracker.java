@@ -0,0 +1,174 @@
+package com.mauledji.app.cariss.datasource;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.mauledji.app.cariss.config.ReplicaDataSourceProperties;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Recuerda quién escribió recientemente para que sus lecturas siguientes vayan al primario
+ * (read-your-writes) mientras la réplica todavía no tiene sus cambios.
+ * Además del registro en memoria de esta instancia, cada escritura deja una cookie con su hora;
+ * así la siguiente petición del mismo navegador lee del primario aunque el balanceador la envíe
+ * a otra instancia.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE_NAME = "cariss_last_write";
+
+    private static final int PURGE_THRESHOLD = 1024; // Tamaño a partir del cual se limpian entradas vencidas
+
+    // Sujeto explícito para lecturas sin usuario autenticado (por ejemplo, el login)
+    private static final ThreadLocal<String> SUBJECT = new ThreadLocal<>();
+
+    // Último momento de escritura por usuario (username o email, normalizados)
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final long stickyWindowMs;
+
+    public ReadYourWritesTracker(ReplicaDataSourceProperties properties) {
+        this.stickyWindowMs = properties.getStickyWindowMs();
+    }
+
+    /**
+     * Registra una escritura del usuario autenticado y de las claves indicadas.
+     * @param keys identificadores adicionales afectados (username, email)
+     */
+    public void recordWrite(String... keys) {
+        long now = System.currentTimeMillis();
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(time -> now - time >= stickyWindowMs);
+        }
+
+        String principal = currentPrincipal();
+        if (principal != null) {
+            lastWrites.put(normalize(principal), now);
+        }
+        for (String key : keys) {
+            if (key != null) {
+                lastWrites.put(normalize(key), now);
+            }
+        }
+        writeCookie(now);
+    }
+
+    /**
+     * Indica si las lecturas del hilo actual deben ir al primario porque el usuario escribió hace poco.
+     * @return true si el cliente, el usuario o el sujeto explícito están dentro de la ventana de escritura
+     */
+    public boolean isSticky() {
+        return isRecentClientWrite() || isRecent(SUBJECT.get()) || isRecent(currentPrincipal());
+    }
+
+    /**
+     * Ejecuta una lectura en nombre de un sujeto que todavía no está autenticado.
+     * @param subject username o email usado en la búsqueda
+     * @param action lectura a ejecutar
+     * @return el resultado de la lectura
+     */
+    public <T> T withSubject(String subject, Supplier<T> action) {
+        String previous = SUBJECT.get();
+        SUBJECT.set(subject);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SUBJECT.remove();
+            } else {
+                SUBJECT.set(previous);
+            }
+        }
+    }
+
+    // Verifica si la clave tiene una escritura dentro de la ventana configurada
+    private boolean isRecent(String key) {
+        if (key == null) {
+            return false;
+        }
+        String normalized = normalize(key);
+        Long writtenAt = lastWrites.get(normalized);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt < stickyWindowMs) {
+            return true;
+        }
+        lastWrites.remove(normalized, writtenAt); // Entrada vencida
+        return false;
+    }
+
+    // Verifica la cookie de la petición actual (escritura hecha en esta u otra instancia)
+    private boolean isRecentClientWrite() {
+        HttpServletRequest request = currentRequest();
+        Cookie[] cookies = request != null ? request.getCookies() : null;
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    long age = System.currentTimeMillis() - Long.parseLong(cookie.getValue());
+                    // Se acepta un pequeño desfase de reloj entre instancias, no fechas futuras arbitrarias
+                    return age < stickyWindowMs && age > -stickyWindowMs;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Deja la hora de la escritura en el navegador; la cookie vence junto con la ventana
+    private void writeCookie(long writtenAt) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(writtenAt))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(Duration.ofSeconds((stickyWindowMs + 999) / 1000))
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    // Nombre del usuario autenticado en la petición actual (lo establece el filtro JWT)
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    // MySQL compara usernames y emails sin distinguir mayúsculas ni acentos: "Carol" y "carol" son la misma clave
+    private static String normalize(String key) {
+        String decomposed = Normalizer.normalize(key, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,123 @@
+package com.mauledji.app.cariss.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Revisa periódicamente el retraso de la réplica. Mientras no se haya comprobado,
+ * o si el retraso supera el máximo configurado, las lecturas se envían al primario.
+ * Corre en un hilo propio para que otras tareas programadas (por ejemplo, reconstruir el índice
+ * de disponibilidad) no retrasen la detección de una réplica atrasada.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replicaDataSource;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private final long checkIntervalMs;
+    private final int queryTimeoutSeconds;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean replicaUsable = false; // Se empieza en el primario hasta la primera revisión
+    private volatile long lastLagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, String lagColumn,
+                             long maxLagSeconds, long checkIntervalMs) {
+        this.replicaDataSource = replicaDataSource;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMs = checkIntervalMs;
+        // Una consulta colgada no debe dejar la réplica marcada como usable más allá de un intervalo
+        this.queryTimeoutSeconds = (int) Math.max(1, (checkIntervalMs + 999) / 1000);
+    }
+
+    // Inicia las revisiones periódicas en su propio hilo
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    // Un error inesperado no debe cancelar las revisiones siguientes
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            markUnavailable(e.getMessage());
+        }
+    }
+
+    // Consulta el retraso actual de la réplica y actualiza su estado
+    public void refresh() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            ResultSet resultSet = statement.executeQuery(lagQuery);
+
+            // Sin filas o con valor nulo la replicación no está corriendo
+            if (!resultSet.next()) {
+                markUnavailable("replication status is empty");
+                return;
+            }
+            long lag = resultSet.getLong(lagColumn);
+            if (resultSet.wasNull()) {
+                markUnavailable("replication is not running");
+                return;
+            }
+
+            lastLagSeconds = lag;
+            boolean usable = lag <= maxLagSeconds;
+            if (usable != replicaUsable) {
+                logger.info("Read replica {} (lag {}s, max {}s)", usable ? "enabled" : "disabled", lag, maxLagSeconds);
+            }
+            replicaUsable = usable;
+        } catch (SQLException e) {
+            markUnavailable(e.getMessage());
+        }
+    }
+
+    // Deja de usar la réplica hasta la siguiente revisión exitosa
+    public void markUnavailable(String reason) {
+        if (replicaUsable) {
+            logger.warn("Read replica disabled: {}", reason);
+        }
+        replicaUsable = false;
+        lastLagSeconds = -1;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mauledji.app.cariss.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a la réplica y el resto al primario.
+ * Debe envolverse en un LazyConnectionDataSourceProxy para que la conexión se elija
+ * cuando la transacción ya está marcada como readOnly.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Destinos posibles de una conexión
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primaryDataSource;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.primaryDataSource = primaryDataSource;
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Solo las transacciones readOnly pueden ir a la réplica
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        // Réplica atrasada o caída: se lee del primario
+        if (!lagMonitor.isReplicaUsable()) {
+            return Route.PRIMARY;
+        }
+        // El usuario escribió hace poco: debe ver sus propios cambios
+        if (readYourWritesTracker.isSticky()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target == primaryDataSource) {
+                throw e;
+            }
+            // Si la réplica no responde, se desactiva y la lectura continúa en el primario
+            lagMonitor.markUnavailable(e.getMessage());
+            return primaryDataSource.getConnection();
+        }
+    }
+}
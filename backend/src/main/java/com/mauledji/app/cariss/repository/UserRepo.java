@@ -1,9 +1,15 @@
 package com.mauledji.app.cariss.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit; // Limita el tamaño de cada página.
 import org.springframework.data.jpa.repository.JpaRepository; // Interfaz base de Spring Data JPA para acceso a datos.
+import org.springframework.data.jpa.repository.Modifying; // Marca consultas JPQL de actualización.
+import org.springframework.data.jpa.repository.Query; // Permite escribir consultas JPQL propias.
+import org.springframework.data.repository.query.Param; // Nombra los parámetros de las consultas.
 import org.springframework.stereotype.Repository; // Marca esta interfaz como un componente de repositorio para que Spring lo registre.
+import org.springframework.transaction.annotation.Transactional; // Transacción de escritura: se lee del primario, no de la réplica.
 
 import com.mauledji.app.cariss.model.User;
 
@@ -23,4 +29,27 @@ public interface UserRepo extends JpaRepository<User, Integer> {
 
     // Verifica si ya existe un usuario con ese correo electrónico.
     boolean existsByUserEmail(String userEmail);
+
+    // Usernames y emails por páginas ordenadas por ID (para el índice de disponibilidad, sin cargar entidades
+    // ni la tabla completa en memoria). Se lee del primario para no perder registros recientes que la réplica
+    // aún no tenga.
+    @Transactional
+    @Query("select u.userId as userId, u.username as username, u.userEmail as userEmail "
+         + "from User u where u.userId > :afterId order by u.userId")
+    List<UserKeys> findKeysAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    // Proyección con solo los campos que identifican a un usuario
+    interface UserKeys {
+        Integer getUserId();
+        String getUsername();
+        String getUserEmail();
+    }
+
+    // Reemplaza el hash de la contraseña solo si sigue siendo el que se verificó en el login,
+    // para no pisar un cambio de contraseña hecho mientras tanto. Devuelve las filas actualizadas (0 o 1).
+    @Transactional
+    @Modifying
+    @Query("update User u set u.userPassword = :newHash where u.userId = :userId and u.userPassword = :oldHash")
+    int updatePasswordHash(@Param("userId") Integer userId, @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
 }
@@ -0,0 +1,63 @@
+package com.mauledji.app.cariss.security;
+
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Elige el costo de BCrypt según el hardware: el más alto cuyo hash no supere el tiempo objetivo
+public final class BCryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "Calibration#Passw0rd";
+    private static final int JIT_WARMUP_HASHES = 20; // Hashes baratos (costo 4) para que el JIT compile BCrypt
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * Mide el tiempo de un hash con el costo mínimo y lo duplica por cada punto de costo
+     * (BCrypt hace 2^costo rondas) hasta alcanzar el objetivo.
+     *
+     * @param targetMillis tiempo máximo deseado por hash
+     * @param minCost costo mínimo permitido
+     * @param maxCost costo máximo permitido
+     * @return el costo elegido, entre minCost y maxCost
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder warmup = new BCryptPasswordEncoder(4);
+        for (int i = 0; i < JIT_WARMUP_HASHES; i++) {
+            warmup.encode(SAMPLE_PASSWORD);
+        }
+
+        // Mediana de varias mediciones para descartar pausas aisladas
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double millis = samples[SAMPLES / 2] / 1_000_000.0;
+
+        int cost = minCost;
+        double estimated = millis;
+        while (cost < maxCost && estimated * 2 <= targetMillis) {
+            cost++;
+            estimated *= 2;
+        }
+
+        if (millis > targetMillis) {
+            logger.warn("BCrypt cost {} takes {} ms, above the {} ms target; using the minimum cost",
+                    minCost, Math.round(millis), targetMillis);
+        } else {
+            logger.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms)",
+                    cost, Math.round(estimated), targetMillis);
+        }
+        return cost;
+    }
+}
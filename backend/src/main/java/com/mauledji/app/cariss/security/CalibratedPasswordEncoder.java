@@ -0,0 +1,143 @@
+package com.mauledji.app.cariss.security;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder que codifica con el algoritmo y costo actuales y verifica cualquier hash guardado:
+ * los nuevos llevan prefijo {id} (DelegatingPasswordEncoder) y los antiguos sin prefijo se leen como BCrypt.
+ * upgradeEncoding indica cuándo un hash debe rehacerse tras un login correcto, tanto para subir como
+ * para bajar el costo o cambiar de algoritmo. Cada conjunto de parámetros tiene su propio timer.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
+
+    private static final String METRIC = "cariss.password.hash";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final String encodingId;
+    private final int bcryptCost;
+    private final int rehashTolerance;
+    private final String currentParams;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param encodingId algoritmo para hashes nuevos (BCRYPT o PBKDF2)
+     * @param bcryptCost costo de BCrypt para hashes nuevos
+     * @param rehashTolerance diferencia de costo de BCrypt aceptada sin rehacer el hash
+     * @param meterRegistry registro de métricas
+     */
+    public CalibratedPasswordEncoder(String encodingId, int bcryptCost, int rehashTolerance,
+                                     MeterRegistry meterRegistry) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptCost));
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalArgumentException("Unsupported password encoder: " + encodingId);
+        }
+
+        this.delegate = new DelegatingPasswordEncoder(encodingId, encoders);
+        // Hashes guardados antes de usar prefijos: BCrypt de cualquier costo
+        this.delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        this.encodingId = encodingId;
+        this.bcryptCost = bcryptCost;
+        this.rehashTolerance = rehashTolerance;
+        this.currentParams = BCRYPT.equals(encodingId) ? BCRYPT + "-" + bcryptCost : encodingId;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return timed("encode", currentParams, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return timed("matches", describe(encodedPassword), () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * @param encodedPassword hash guardado
+     * @return true si fue generado con otro algoritmo o con un costo fuera de la tolerancia
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (!encodingId.equals(idOf(encodedPassword))) {
+            return true;
+        }
+        if (BCRYPT.equals(encodingId)) {
+            int storedCost = bcryptCostOf(encodedPassword);
+            return storedCost < 0 || Math.abs(storedCost - bcryptCost) > rehashTolerance;
+        }
+        return false;
+    }
+
+    /**
+     * @return el mismo codificador sin registrar métricas (para el calentamiento, que no es tráfico real)
+     */
+    public PasswordEncoder withoutMetrics() {
+        return delegate;
+    }
+
+    /**
+     * @return los parámetros usados para hashes nuevos (por ejemplo "bcrypt-11")
+     */
+    public String getCurrentParams() {
+        return currentParams;
+    }
+
+    // Nombre corto de los parámetros de un hash guardado, usado como tag de las métricas
+    private String describe(String encodedPassword) {
+        if (encodedPassword == null) {
+            return "none";
+        }
+        String id = idOf(encodedPassword);
+        if (BCRYPT.equals(id)) {
+            int cost = bcryptCostOf(encodedPassword);
+            return cost < 0 ? "unknown" : BCRYPT + "-" + cost;
+        }
+        return PBKDF2.equals(id) ? id : "unknown";
+    }
+
+    // Id del algoritmo ({bcrypt}, {pbkdf2@...}); los hashes sin prefijo con formato $2x$ son BCrypt
+    private static String idOf(String encodedPassword) {
+        if (encodedPassword.startsWith("{")) {
+            int end = encodedPassword.indexOf('}');
+            return end > 0 ? encodedPassword.substring(1, end) : null;
+        }
+        return encodedPassword.startsWith("$2") ? BCRYPT : null;
+    }
+
+    // Lee el costo de un hash BCrypt ($2a$12$...), con o sin prefijo; -1 si no tiene ese formato
+    private static int bcryptCostOf(String encodedPassword) {
+        String hash = encodedPassword.startsWith("{") ? encodedPassword.substring(encodedPassword.indexOf('}') + 1)
+                                                      : encodedPassword;
+        if (hash.length() < 7 || !hash.startsWith("$2") || hash.charAt(3) != '$' || hash.charAt(6) != '$'
+                || !Character.isDigit(hash.charAt(4)) || !Character.isDigit(hash.charAt(5))) {
+            return -1;
+        }
+        return (hash.charAt(4) - '0') * 10 + (hash.charAt(5) - '0');
+    }
+
+    private <T> T timed(String operation, String params, Supplier<T> action) {
+        Timer timer = Timer.builder(METRIC)
+                .tag("operation", operation)
+                .tag("params", params)
+                .register(meterRegistry);
+        return timer.record(action);
+    }
+}
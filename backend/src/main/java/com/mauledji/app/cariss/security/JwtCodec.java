@@ -0,0 +1,360 @@
+package com.mauledji.app.cariss.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Codificador/decodificador JWT especializado para nuestros tokens HMAC:
+ * {"alg":"HS256"} + {"sub":...,"fullName":...,"iat":...,"exp":...}.
+ * Produce los mismos bytes que JJWT 0.11 y solo lee sub, fullName, exp y nbf del payload,
+ * sin construir mapas de claims ni objetos Date.
+ */
+public final class JwtCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final byte[] KEY_SUB = ascii("sub");
+    private static final byte[] KEY_FULL_NAME = ascii("fullName");
+    private static final byte[] KEY_EXP = ascii("exp");
+    private static final byte[] KEY_NBF = ascii("nbf");
+
+    // Datos que necesitamos de un token válido
+    public record DecodedToken(String subject, String fullName, long expiresAt) {}
+
+    private final String encodedHeader;   // Header ya codificado en base64url, seguido de '.'
+    private final byte[] encodedHeaderBytes;
+    private final ThreadLocal<Mac> macs;  // Un Mac reutilizable por hilo (Mac no es thread-safe)
+
+    /**
+     * @param secret clave HMAC; como Keys.hmacShaKeyFor de JJWT, su longitud decide HS256/HS384/HS512
+     */
+    public JwtCodec(byte[] secret) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("JWT secret must be at least 256 bits long");
+        }
+        String alg = secret.length >= 64 ? "HS512" : secret.length >= 48 ? "HS384" : "HS256";
+        String macAlgorithm = "HmacSHA" + alg.substring(2);
+        SecretKeySpec key = new SecretKeySpec(secret.clone(), macAlgorithm);
+
+        this.encodedHeader = ENCODER.encodeToString(ascii("{\"alg\":\"" + alg + "\"}")) + '.';
+        this.encodedHeaderBytes = ascii(encodedHeader);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(macAlgorithm);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC not available: " + macAlgorithm, e);
+            }
+        });
+        macs.get(); // Falla al arrancar si el algoritmo no está disponible
+    }
+
+    /**
+     * Genera un token firmado.
+     * @param subject username (se omite si es null)
+     * @param fullName nombre completo (se omite si es null)
+     * @param issuedAt fecha de emisión en segundos desde epoch
+     * @param expiresAt fecha de expiración en segundos desde epoch
+     * @return el JWT compacto
+     */
+    public String encode(String subject, String fullName, long issuedAt, long expiresAt) {
+        StringBuilder json = new StringBuilder(96);
+        json.append('{');
+        if (subject != null) {
+            appendString(json.append("\"sub\":"), subject).append(',');
+        }
+        if (fullName != null) {
+            appendString(json.append("\"fullName\":"), fullName).append(',');
+        }
+        json.append("\"iat\":").append(issuedAt).append(",\"exp\":").append(expiresAt).append('}');
+
+        byte[] payload = ENCODER.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+        int headerLength = encodedHeaderBytes.length;
+        int signedLength = headerLength + payload.length;
+
+        // header.payload.signature en un solo arreglo de bytes ASCII
+        byte[] token = new byte[signedLength + 1 + 86]; // 86 = base64 de la firma más larga (HS512)
+        System.arraycopy(encodedHeaderBytes, 0, token, 0, headerLength);
+        System.arraycopy(payload, 0, token, headerLength, payload.length);
+
+        Mac mac = macs.get();
+        mac.update(token, 0, signedLength);
+        byte[] signature = ENCODER.encode(mac.doFinal());
+        token[signedLength] = '.';
+        System.arraycopy(signature, 0, token, signedLength + 1, signature.length);
+        return new String(token, 0, signedLength + 1 + signature.length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifica la firma y la vigencia de un token y extrae sus datos.
+     * @param token JWT compacto
+     * @param nowMillis hora actual en milisegundos
+     * @return los datos del token, o null si es inválido, está alterado o expiró
+     */
+    public DecodedToken decode(String token, long nowMillis) {
+        if (token == null || !token.startsWith(encodedHeader)) {
+            return null; // Solo aceptamos nuestro header exacto (descarta alg=none u otros algoritmos)
+        }
+        int signatureDot = token.indexOf('.', encodedHeader.length());
+        if (signatureDot < 0 || token.indexOf('.', signatureDot + 1) >= 0) {
+            return null;
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+        Mac mac = macs.get();
+        mac.update(bytes, 0, signatureDot);
+        byte[] expected = ENCODER.encode(mac.doFinal());
+        int signatureLength = bytes.length - signatureDot - 1;
+        if (signatureLength != expected.length
+                || !MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, signatureDot + 1, bytes.length))) {
+            return null;
+        }
+
+        byte[] payload;
+        try {
+            int start = encodedHeaderBytes.length;
+            ByteBuffer decoded = DECODER.decode(ByteBuffer.wrap(bytes, start, signatureDot - start));
+            payload = decoded.remaining() == decoded.array().length
+                    ? decoded.array() : Arrays.copyOf(decoded.array(), decoded.remaining());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new PayloadReader(payload).read(nowMillis);
+    }
+
+    // Escribe un string JSON con el mismo escape que Jackson (así el token es idéntico al de JJWT)
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\b' -> json.append("\\b");
+                case '\f' -> json.append("\\f");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20 || Character.isSurrogate(c)) { // Jackson escapa controles y pares sustitutos
+                        json.append(String.format("\\u%04X", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Lector mínimo del objeto JSON del payload: lee solo los campos que usamos y salta el resto
+    private static final class PayloadReader {
+
+        private final byte[] json;
+        private int pos;
+
+        PayloadReader(byte[] json) {
+            this.json = json;
+        }
+
+        DecodedToken read(long nowMillis) {
+            String subject = null;
+            String fullName = null;
+            long expiresAt = -1;
+            long notBefore = -1;
+            try {
+                expect('{');
+                if (peek() != '}') {
+                    do {
+                        skipWhitespace();
+                        int keyStart = pos + 1;
+                        skipString();
+                        int keyEnd = pos - 1;
+                        expect(':');
+                        skipWhitespace();
+                        if (keyEquals(keyStart, keyEnd, KEY_SUB)) {
+                            subject = readString();
+                        } else if (keyEquals(keyStart, keyEnd, KEY_FULL_NAME)) {
+                            fullName = readString();
+                        } else if (keyEquals(keyStart, keyEnd, KEY_EXP)) {
+                            expiresAt = readLong();
+                        } else if (keyEquals(keyStart, keyEnd, KEY_NBF)) {
+                            notBefore = readLong();
+                        } else {
+                            skipValue();
+                        }
+                    } while (next() == ',');
+                    pos--;
+                }
+                expect('}');
+
+                // Igual que JJWT: expirado si ahora es posterior a exp, aún no válido si es anterior a nbf
+                if (expiresAt < 0 || nowMillis > Math.multiplyExact(expiresAt, 1000)) {
+                    return null;
+                }
+                if (notBefore >= 0 && nowMillis < Math.multiplyExact(notBefore, 1000)) {
+                    return null;
+                }
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | ArithmeticException e) {
+                // JSON mal formado, escape unicode incompleto o fecha fuera de rango: el token se rechaza
+                return null;
+            }
+            return new DecodedToken(subject, fullName, expiresAt);
+        }
+
+        private boolean keyEquals(int start, int end, byte[] key) {
+            if (end - start != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (json[start + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Lee un string JSON (o null) decodificando escapes solo si los hay
+        private String readString() {
+            if (peek() == 'n') {
+                skipLiteral();
+                return null;
+            }
+            expect('"');
+            int start = pos;
+            while (json[pos] != '"' && json[pos] != '\\') {
+                pos++;
+            }
+            if (json[pos] == '"') {
+                return new String(json, start, pos++ - start, StandardCharsets.UTF_8);
+            }
+
+            StringBuilder value = new StringBuilder(new String(json, start, pos - start, StandardCharsets.UTF_8));
+            while (true) {
+                byte b = json[pos];
+                if (b == '"') {
+                    pos++;
+                    return value.toString();
+                }
+                if (b == '\\') {
+                    char escaped = (char) json[pos + 1];
+                    pos += 2;
+                    switch (escaped) {
+                        case '"', '\\', '/' -> value.append(escaped);
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'n' -> value.append('\n');
+                        case 'r' -> value.append('\r');
+                        case 't' -> value.append('\t');
+                        case 'u' -> {
+                            value.append((char) Integer.parseInt(
+                                    new String(json, pos, 4, StandardCharsets.US_ASCII), 16));
+                            pos += 4;
+                        }
+                        default -> throw new IllegalArgumentException("Invalid escape");
+                    }
+                } else {
+                    int runStart = pos;
+                    while (json[pos] != '"' && json[pos] != '\\') {
+                        pos++;
+                    }
+                    value.append(new String(json, runStart, pos - runStart, StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        // Lee un número entero (las fechas JWT son segundos desde epoch)
+        private long readLong() {
+            int start = pos;
+            long value = 0;
+            while (pos < json.length && json[pos] >= '0' && json[pos] <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), json[pos++] - '0');
+            }
+            if (pos == start) {
+                throw new IllegalArgumentException("Expected number");
+            }
+            return value;
+        }
+
+        private void skipValue() {
+            byte b = peek();
+            if (b == '"') {
+                skipString();
+            } else if (b == '{' || b == '[') {
+                int depth = 0;
+                do {
+                    byte c = json[pos];
+                    if (c == '"') {
+                        skipString();
+                        continue;
+                    }
+                    if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                    pos++;
+                } while (depth > 0);
+            } else {
+                skipLiteral();
+            }
+        }
+
+        // Avanza sobre un string JSON dejando pos después de la comilla de cierre
+        private void skipString() {
+            expect('"');
+            while (json[pos] != '"') {
+                pos += json[pos] == '\\' ? 2 : 1;
+            }
+            pos++;
+        }
+
+        // Números, true, false y null
+        private void skipLiteral() {
+            int start = pos;
+            while (pos < json.length && json[pos] != ',' && json[pos] != '}' && json[pos] != ']'
+                    && json[pos] > ' ') {
+                pos++;
+            }
+            if (pos == start) {
+                throw new IllegalArgumentException("Expected value");
+            }
+        }
+
+        private byte peek() {
+            skipWhitespace();
+            return json[pos];
+        }
+
+        private byte next() {
+            skipWhitespace();
+            return json[pos++];
+        }
+
+        private void expect(char c) {
+            if (next() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length
+                    && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\n' || json[pos] == '\r')) {
+                pos++;
+            }
+        }
+    }
+}
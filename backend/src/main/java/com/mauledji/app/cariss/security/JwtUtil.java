@@ -1,14 +1,11 @@
 package com.mauledji.app.cariss.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
 
 @Component // Indica que esta clase será gestionada como un componente por Spring (puede inyectarse con @Autowired)
 public class JwtUtil {
@@ -21,10 +18,13 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expirationTime;
 
-    // Método interno que convierte la clave secreta a un objeto SecretKey válido para firmar tokens JWT
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8); // Convierte la clave en bytes
-        return Keys.hmacShaKeyFor(keyBytes); // Usa el algoritmo HMAC SHA para generar la clave
+    // Codec especializado para nuestros tokens (compatible con los generados por JJWT)
+    private JwtCodec codec;
+
+    // Prepara el codec una sola vez con la clave secreta
+    @PostConstruct
+    void initCodec() {
+        codec = new JwtCodec(secretKey.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -33,13 +33,18 @@ public class JwtUtil {
      * @return el JWT en formato String
      */
     public String generateToken(String subject, String fullName) {
-        return Jwts.builder()
-            .setSubject(subject) // Define el subject del token (quién es el usuario)
-            .claim("fullName", fullName) // Incluye el nombre completo en los claims
-            .setIssuedAt(new Date(System.currentTimeMillis())) // Fecha de emisión
-            .setExpiration(new Date(System.currentTimeMillis() + expirationTime)) // Fecha de expiración
-            .signWith(getSigningKey()) // Firma el token con la clave secreta
-            .compact(); // Genera el token final como string
+        long now = System.currentTimeMillis();
+        // Fechas de emisión y expiración en segundos, como en el estándar JWT
+        return codec.encode(subject, fullName, now / 1000, (now + expirationTime) / 1000);
+    }
+
+    /**
+     * Verifica un token y devuelve sus datos en una sola pasada
+     * @param token JWT recibido
+     * @return los datos del token, o null si la firma es incorrecta o expiró
+     */
+    public JwtCodec.DecodedToken parseToken(String token) {
+        return codec.decode(token, System.currentTimeMillis());
     }
 
     /**
@@ -48,12 +53,11 @@ public class JwtUtil {
      * @return el subject del token, normalmente el username
      */
     public String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder() // Inicia el parser de JWT
-            .setSigningKey(getSigningKey()) // Usa la misma clave para verificar
-            .build()
-            .parseClaimsJws(token) // Parsea y valida el token
-            .getBody(); // Obtiene el contenido (claims) del token
-        return claims.getSubject(); // Devuelve el subject (username)
+        JwtCodec.DecodedToken decoded = parseToken(token);
+        if (decoded == null) {
+            throw new JwtException("Invalid or expired JWT"); // Igual que antes: token inválido lanza excepción
+        }
+        return decoded.subject(); // Devuelve el subject (username)
     }
 
     /**
@@ -62,14 +66,6 @@ public class JwtUtil {
      * @return true si es válido, false si tiene errores
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey()) // Firma esperada
-                .build()
-                .parseClaimsJws(token); // Lanza excepción si es inválido
-            return true; // Si no hubo excepción, el token es válido
-        } catch (Exception e) {
-            return false; // Si hay cualquier error, el token no es válido
-        }
+        return parseToken(token) != null;
     }
 }
@@ -17,7 +17,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private static final int MAX_REQUESTS = 5; // Máximo de solicitudes permitidas
+    private static final int MAX_AVAILABILITY_REQUESTS = 60; // Consultas de disponibilidad (una por tecla, con debounce)
     private static final int WINDOW_MINUTES = 1; // Tiempo en minutos para contar las solicitudes
+    private static final String AVAILABILITY_PATH = "/api/auth/availability";
 
     // Mapa que lleva la cuenta de solicitudes por IP
     private final Map<String, RequestTracker> requestCounts = new ConcurrentHashMap<>();
@@ -31,7 +33,12 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         if (request.getRequestURI().startsWith("/api/auth/")) {
 
             String clientIp = getClientIp(request); // Obtener IP del cliente
-            RequestTracker tracker = requestCounts.computeIfAbsent(clientIp, k -> new RequestTracker()); // Obtener o crear el contador
+
+            // La consulta de disponibilidad tiene su propio contador para no gastar los intentos de login
+            boolean availability = request.getRequestURI().equals(AVAILABILITY_PATH);
+            String key = availability ? clientIp + "|availability" : clientIp;
+            int maxRequests = availability ? MAX_AVAILABILITY_REQUESTS : MAX_REQUESTS;
+            RequestTracker tracker = requestCounts.computeIfAbsent(key, k -> new RequestTracker(maxRequests)); // Obtener o crear el contador
 
             if (tracker.isLimited()) {
                 // Si se excede el límite, respondemos con 429 Too Many Requests
@@ -59,8 +66,13 @@ public class RateLimitingFilter extends OncePerRequestFilter {
     // Clase interna que lleva el conteo de solicitudes y la ventana de tiempo
     private static class RequestTracker {
         private final AtomicInteger count = new AtomicInteger(0); // Contador de solicitudes
+        private final int maxRequests; // Límite de solicitudes en la ventana
         private long windowStart = System.currentTimeMillis(); // Inicio de la ventana de tiempo
 
+        RequestTracker(int maxRequests) {
+            this.maxRequests = maxRequests;
+        }
+
         // Determina si se ha excedido el número de solicitudes permitidas
         synchronized boolean isLimited() {
             long now = System.currentTimeMillis();
@@ -71,7 +83,7 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                 return false;
             }
             // Comprobamos si el número de solicitudes supera el máximo permitido
-            return count.get() >= MAX_REQUESTS;
+            return count.get() >= maxRequests;
         }
 
         // Incrementa el número de solicitudes
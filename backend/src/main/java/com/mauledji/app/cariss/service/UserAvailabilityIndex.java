@@ -0,0 +1,158 @@
+package com.mauledji.app.cariss.service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mauledji.app.cariss.repository.UserRepo;
+import com.mauledji.app.cariss.util.BloomFilter;
+
+/**
+ * Índice en memoria de usernames y emails ocupados, para que el formulario de registro consulte
+ * disponibilidad sin ir a la base de datos. Se construye al arrancar (antes de reportar la instancia lista),
+ * se actualiza con cada escritura de UserService y se reconstruye periódicamente para incorporar
+ * cambios hechos por otras instancias y limpiar usuarios eliminados.
+ */
+@Component
+@Order(0) // Se construye antes del calentamiento
+public class UserAvailabilityIndex implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityIndex.class);
+
+    private static final int MIN_CAPACITY = 10_000;
+    private static final int PAGE_SIZE = 5_000; // Usuarios leídos por consulta durante la reconstrucción
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Filtros actuales; null hasta la primera carga (mientras tanto todo se consulta en la base de datos)
+    private volatile Filters current;
+    // Filtros en construcción: las escrituras se agregan también aquí para no perderlas durante la carga
+    private volatile Filters building;
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {}
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    // Vuelve a cargar todos los usernames y emails desde la base de datos, por páginas
+    @Scheduled(initialDelayString = "${app.availability.rebuild-interval-ms:600000}",
+               fixedDelayString = "${app.availability.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        // Transacciones de escritura: todo se lee del primario (readOnly iría a la réplica)
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            long count = transaction.execute(status -> userRepo.count());
+            // Capacidad con margen para los registros que lleguen hasta la próxima reconstrucción
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, count * 2));
+            Filters filters = new Filters(new BloomFilter(capacity, falsePositiveRate),
+                                          new BloomFilter(capacity, falsePositiveRate));
+            // Antes de abrir la lectura: lo confirmado después llega por add(), lo anterior lo ven las páginas
+            building = filters;
+
+            long loaded = transaction.execute(status -> load(filters));
+            current = filters;
+            logger.info("Availability index built with {} users in {} ms", loaded,
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.warn("Could not build availability index, checks will use the database: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    // Llena los filtros página a página, en una sola transacción; devuelve los usuarios cargados
+    private long load(Filters filters) {
+        long loaded = 0;
+        Integer afterId = 0;
+        List<UserRepo.UserKeys> page;
+        do {
+            page = userRepo.findKeysAfter(afterId, Limit.of(PAGE_SIZE));
+            for (UserRepo.UserKeys keys : page) {
+                filters.usernames().put(normalize(keys.getUsername()));
+                filters.emails().put(normalize(keys.getUserEmail()));
+                afterId = keys.getUserId();
+            }
+            loaded += page.size();
+        } while (page.size() == PAGE_SIZE);
+        return loaded;
+    }
+
+    // Registra un usuario nuevo o modificado (lo llama UserService al guardar). Dentro de una transacción
+    // se agrega al confirmarse, para que una reconstrucción en curso no lo pierda ni lo vea antes de tiempo.
+    public void add(String username, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(username, email);
+                }
+            });
+        } else {
+            addNow(username, email);
+        }
+    }
+
+    // Se lee building antes que current: rebuild publica current antes de limpiar building,
+    // así que uno de los dos siempre es el filtro que queda vigente
+    private void addNow(String username, String email) {
+        Filters pending = building;
+        Filters published = current;
+        for (Filters filters : new Filters[] { pending, published }) {
+            if (filters != null) {
+                if (username != null) {
+                    filters.usernames().put(normalize(username));
+                }
+                if (email != null) {
+                    filters.emails().put(normalize(email));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false si el username seguro no existe; true si podría existir (o si el índice no está listo)
+     */
+    public boolean mightContainUsername(String username) {
+        Filters filters = current;
+        return filters == null || filters.usernames().mightContain(normalize(username));
+    }
+
+    /**
+     * @return false si el email seguro no existe; true si podría existir (o si el índice no está listo)
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails().mightContain(normalize(email));
+    }
+
+    // MySQL compara sin distinguir mayúsculas ni acentos; el índice normaliza igual para no dar falsos negativos
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired; // Permite inyectar dependencias automáticamente.
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Para encriptar contraseñas.
+import org.springframework.security.crypto.password.PasswordEncoder; // Para encriptar contraseñas.
 import org.springframework.stereotype.Service; // Marca esta clase como un servicio (componente de lógica de negocio).
+import org.springframework.transaction.annotation.Transactional; // readOnly permite enviar las lecturas a la réplica.
 
+import com.mauledji.app.cariss.datasource.ReadYourWritesTracker;
 import com.mauledji.app.cariss.model.User;
 import com.mauledji.app.cariss.repository.UserRepo;
 
@@ -17,25 +19,47 @@ public class UserService {
     private UserRepo userRepo;
 
     @Autowired // Inyecta el codificador para encriptar contraseñas.
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired // Registra las escrituras para que el usuario lea sus propios cambios desde el primario.
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired // Índice en memoria de usernames y emails ocupados.
+    private UserAvailabilityIndex availabilityIndex;
 
     // Retorna una lista con todos los usuarios en la base de datos.
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepo.findAll();
     }
 
     // Busca un usuario por su ID y retorna un Optional<User>.
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Integer userId) {
         return userRepo.findById(userId);
     }
 
+    // Busca un usuario por username y, si no existe, por email (usado por el login).
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsernameOrEmail(String usernameOrEmail) {
+        return readYourWritesTracker.withSubject(usernameOrEmail, () -> {
+            Optional<User> user = userRepo.findByUsername(usernameOrEmail);
+            return user.isPresent() ? user : userRepo.findByUserEmail(usernameOrEmail);
+        });
+    }
+
     // Crea un nuevo usuario, encriptando su contraseña antes de guardarlo.
+    @Transactional
     public User createUser(User user) {
         user.setUserPassword(passwordEncoder.encode(user.getUserPassword())); // Encriptar contraseña
-        return userRepo.save(user); // Guardar usuario
+        User saved = userRepo.save(user); // Guardar usuario
+        readYourWritesTracker.recordWrite(saved.getUsername(), saved.getUserEmail());
+        availabilityIndex.add(saved.getUsername(), saved.getUserEmail());
+        return saved;
     }
 
     // Actualiza un usuario existente con los nuevos datos proporcionados.
+    @Transactional
     public User updateUser(User existingUser, User newUser) {
         existingUser.setUsername(newUser.getUsername());
         existingUser.setUserFullName(newUser.getUserFullName());
@@ -46,15 +70,48 @@ public class UserService {
             existingUser.setUserPassword(passwordEncoder.encode(newUser.getUserPassword()));
         }
 
-        return userRepo.save(existingUser); // Guarda los cambios
+        User saved = userRepo.save(existingUser); // Guarda los cambios
+        readYourWritesTracker.recordWrite(saved.getUsername(), saved.getUserEmail());
+        availabilityIndex.add(saved.getUsername(), saved.getUserEmail());
+        return saved;
+    }
+
+    // Vuelve a codificar la contraseña con el algoritmo y costo actuales (la llama el login cuando
+    // el hash guardado quedó desactualizado). Devuelve false si la contraseña cambió mientras tanto.
+    @Transactional
+    public boolean rehashPassword(User user, String rawPassword) {
+        String oldHash = user.getUserPassword();
+        String newHash = passwordEncoder.encode(rawPassword);
+        boolean updated = userRepo.updatePasswordHash(user.getUserId(), oldHash, newHash) == 1;
+        if (updated) {
+            user.setUserPassword(newHash);
+            readYourWritesTracker.recordWrite(user.getUsername(), user.getUserEmail());
+        }
+        return updated;
     }
 
     // Elimina un usuario por ID.
+    @Transactional
     public void deleteUser(Integer userId) {
         userRepo.deleteById(userId);
+        readYourWritesTracker.recordWrite();
+    }
+
+    // Verifica si un username está libre. El índice descarta sin consultar la base de datos
+    // los que seguro no existen; solo un posible acierto se confirma con MySQL.
+    @Transactional(readOnly = true)
+    public boolean isUsernameAvailable(String username) {
+        return !availabilityIndex.mightContainUsername(username) || !userRepo.existsByUsername(username);
+    }
+
+    // Verifica si un email está libre, con la misma estrategia que isUsernameAvailable.
+    @Transactional(readOnly = true)
+    public boolean isEmailAvailable(String userEmail) {
+        return !availabilityIndex.mightContainEmail(userEmail) || !userRepo.existsByUserEmail(userEmail);
     }
 
     // Verifica si un usuario ya existe en la base de datos por su email.
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String userEmail) {
         return userRepo.existsByUserEmail(userEmail);
     }
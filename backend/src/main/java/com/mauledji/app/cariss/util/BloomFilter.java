@@ -0,0 +1,81 @@
+package com.mauledji.app.cariss.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom para strings: responde "seguro que no está" o "puede que esté", usando muy poca memoria.
+// Es seguro para usar desde varios hilos (los bits se escriben de forma atómica).
+public class BloomFilter {
+
+    private final AtomicLongArray bits; // Arreglo de bits agrupado en palabras de 64
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * Crea un filtro dimensionado para la cantidad de elementos y la tasa de falsos positivos deseadas.
+     *
+     * @param expectedInsertions cantidad de elementos que se espera insertar
+     * @param falsePositiveRate probabilidad aceptable de un falso positivo (por ejemplo 0.01)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        // Fórmulas estándar: m = -n·ln(p) / ln(2)², k = m/n · ln(2)
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.numBits = (long) words * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+    }
+
+    /**
+     * Agrega un valor al filtro.
+     *
+     * @param value el valor a agregar
+     */
+    public void put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, numBits);
+            long mask = 1L << bit;
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    /**
+     * Verifica si el valor podría estar en el filtro.
+     *
+     * @param value el valor a buscar
+     * @return false si seguro no fue agregado, true si probablemente sí
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hash de 64 bits del string (FNV-1a sobre sus caracteres, seguido de una mezcla final)
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    // Mezcla final de MurmurHash3 para repartir bien los bits
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,194 @@
+package com.mauledji.app.cariss.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Build del frontend servido desde un directorio temporal, como con app.frontend.location=file:... en desarrollo
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:frontend;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create",
+		"app.warmup.enabled=false",
+		"app.password.cost=4"
+})
+@AutoConfigureMockMvc
+class FrontendResourcesTests {
+
+	static final String INDEX = "<html><div id=\"root\"></div></html>";
+	static final String SCRIPT = "console.log('x');";
+	static final String SCRIPT_BR = "brotli-bytes";
+	static final String SCRIPT_GZ = "gzip-bytes";
+
+	static final Path BUILD = createBuild();
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@DynamicPropertySource
+	static void frontendLocation(DynamicPropertyRegistry registry) {
+		registry.add("app.frontend.location", () -> BUILD.toUri().toString());
+	}
+
+	@AfterAll
+	static void deleteBuild() throws IOException {
+		FileSystemUtils.deleteRecursively(BUILD);
+	}
+
+	@Test
+	void rebuiltFilesOnDiskAreServedWithoutRestart() throws Exception {
+		Path manifest = BUILD.resolve("manifest.json");
+		write(manifest, "{\"v\":1}");
+		mockMvc.perform(get("/manifest.json")).andExpect(content().string("{\"v\":1}"));
+
+		// npm run build reemplaza los archivos en el mismo directorio
+		write(manifest, "{\"v\":2}");
+		Files.setLastModifiedTime(manifest, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+		mockMvc.perform(get("/manifest.json"))
+				.andExpect(status().isOk())
+				.andExpect(content().string("{\"v\":2}"));
+	}
+
+	@Test
+	void brotliIsPreferredWhenAccepted() throws Exception {
+		mockMvc.perform(get("/static/js/x.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+				.andExpect(header().string(HttpHeaders.CONTENT_TYPE, containsString("javascript")))
+				.andExpect(content().string(SCRIPT_BR));
+	}
+
+	@Test
+	void gzipIsUsedWhenBrotliIsRefused() throws Exception {
+		mockMvc.perform(get("/static/js/x.js").header(HttpHeaders.ACCEPT_ENCODING, "br;q=0, gzip;q=0.8"))
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(content().string(SCRIPT_GZ));
+	}
+
+	@Test
+	void identityWhenNoEncodingIsAccepted() throws Exception {
+		mockMvc.perform(get("/static/js/x.js"))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT_ENCODING))))
+				.andExpect(content().string(SCRIPT));
+		mockMvc.perform(get("/static/js/x.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0.0, identity"))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(content().string(SCRIPT));
+	}
+
+	@Test
+	void identityWhenNoVariantExists() throws Exception {
+		mockMvc.perform(get("/static/js/plain.js").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(content().string(SCRIPT));
+	}
+
+	@Test
+	void hashedAssetsAreImmutableAndTheRestRevalidated() throws Exception {
+		mockMvc.perform(get("/static/js/x.js"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+		mockMvc.perform(get("/index.html"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andExpect(content().string(INDEX));
+	}
+
+	@Test
+	void clientRoutesFallBackToIndex() throws Exception {
+		for (String route : new String[] { "/login", "/register", "/home" }) {
+			mockMvc.perform(get(route))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+					.andExpect(content().string(INDEX));
+		}
+		// La raíz la reenvía WebController a /index.html
+		mockMvc.perform(get("/")).andExpect(status().isOk());
+	}
+
+	@Test
+	void apiAndMissingFilesNeverFallBackToIndex() throws Exception {
+		mockMvc.perform(get("/api/auth/unknown"))
+				.andExpect(status().isNotFound())
+				.andExpect(content().string(not(containsString("root"))));
+		mockMvc.perform(get("/actuator/health/unknown"))
+				.andExpect(status().isNotFound())
+				.andExpect(content().string(not(containsString("root"))));
+		mockMvc.perform(get("/static/js/missing.js"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void apiAndActuatorPathsAreNotClientRoutes() {
+		Resource index = new ByteArrayResource(INDEX.getBytes(StandardCharsets.UTF_8));
+		ResourceResolverChain chain = new ResourceResolverChain() {
+			@Override
+			public Resource resolveResource(HttpServletRequest request, String requestPath,
+											List<? extends Resource> locations) {
+				return "index.html".equals(requestPath) ? index : null;
+			}
+
+			@Override
+			public String resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+				return null;
+			}
+		};
+		SpaFallbackResourceResolver resolver = new SpaFallbackResourceResolver();
+		assertNull(resolver.resolveResource(null, "actuator/unknown", List.of(), chain));
+		assertNull(resolver.resolveResource(null, "api/v1/unknown", List.of(), chain));
+		assertNull(resolver.resolveResource(null, "static/js/missing.js", List.of(), chain));
+		assertSame(index, resolver.resolveResource(null, "home", List.of(), chain));
+	}
+
+	static void write(Path path, String content) throws IOException {
+		Files.writeString(path, content, StandardCharsets.UTF_8);
+	}
+
+	static Path createBuild() {
+		try {
+			Path build = Files.createTempDirectory("frontend-build");
+			Path js = Files.createDirectories(build.resolve("static/js"));
+			write(build.resolve("index.html"), INDEX);
+			write(js.resolve("x.js"), SCRIPT);
+			write(js.resolve("x.js.br"), SCRIPT_BR);
+			write(js.resolve("x.js.gz"), SCRIPT_GZ);
+			write(js.resolve("plain.js"), SCRIPT); // Sin variantes comprimidas
+			return build;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
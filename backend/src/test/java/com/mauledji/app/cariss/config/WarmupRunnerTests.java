@@ -0,0 +1,105 @@
+package com.mauledji.app.cariss.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.mauledji.app.cariss.CarissApplication;
+
+// La instancia no debe reportarse lista mientras el calentamiento sigue corriendo
+class WarmupRunnerTests {
+
+	static final CountDownLatch PHASE_STARTED = new CountDownLatch(1);
+	static final CountDownLatch RELEASE_PHASE = new CountDownLatch(1);
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void tearDown() {
+		RELEASE_PHASE.countDown();
+		executor.shutdownNow();
+	}
+
+	@Test
+	void readinessRefusesTrafficUntilWarmupFinishes() throws Exception {
+		AtomicReference<ConfigurableApplicationContext> context = new AtomicReference<>();
+		SpringApplicationBuilder builder = new SpringApplicationBuilder(CarissApplication.class, BlockingEncoderConfig.class)
+				.listeners(event -> {
+					if (event instanceof ApplicationStartedEvent started) {
+						context.set(started.getApplicationContext());
+					}
+				});
+		// Como argumentos, para que tengan prioridad sobre application.properties
+		Future<ConfigurableApplicationContext> running = executor.submit(() -> builder.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--spring.jpa.hibernate.ddl-auto=create",
+				"--app.password.cost=4",
+				"--app.warmup.enabled=true",
+				"--app.warmup.password-iterations=1",
+				"--app.warmup.jwt-iterations=1",
+				"--app.warmup.query-iterations=1"));
+
+		// El contexto ya arrancó y la fase password-hash está bloqueada
+		assertTrue(PHASE_STARTED.await(60, TimeUnit.SECONDS));
+		ApplicationAvailability availability = context.get().getBean(ApplicationAvailability.class);
+		assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getReadinessState());
+
+		RELEASE_PHASE.countDown();
+		try (ConfigurableApplicationContext started = running.get(60, TimeUnit.SECONDS)) {
+			assertEquals(ReadinessState.ACCEPTING_TRAFFIC,
+					started.getBean(ApplicationAvailability.class).getReadinessState());
+		}
+	}
+
+	// Codificador que detiene el calentamiento en su primera llamada hasta que el test lo libere
+	@TestConfiguration
+	static class BlockingEncoderConfig {
+
+		@Bean
+		@Primary
+		PasswordEncoder blockingPasswordEncoder() {
+			BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+			return new PasswordEncoder() {
+				@Override
+				public String encode(CharSequence rawPassword) {
+					PHASE_STARTED.countDown();
+					try {
+						RELEASE_PHASE.await(60, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return bcrypt.encode(rawPassword);
+				}
+
+				@Override
+				public boolean matches(CharSequence rawPassword, String encodedPassword) {
+					return bcrypt.matches(rawPassword, encodedPassword);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.mauledji.app.cariss.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.mauledji.app.cariss.config.ReplicaDataSourceProperties;
+
+import jakarta.servlet.http.Cookie;
+
+class ReplicaRoutingDataSourceTests {
+
+	private EmbeddedDatabase primary;
+	private EmbeddedDatabase replica;
+	private ReplicaLagMonitor lagMonitor;
+	private ReadYourWritesTracker tracker;
+	private JdbcTemplate jdbcTemplate;
+	private DataSourceTransactionManager transactionManager;
+	private boolean replicaDown;
+
+	@BeforeEach
+	void setUp() {
+		primary = embedded("primary");
+		replica = embedded("replica");
+
+		lagMonitor = new ReplicaLagMonitor(replica, "SELECT lag_seconds FROM replication_status", "lag_seconds", 5, 2000);
+		tracker = new ReadYourWritesTracker(properties());
+
+		// Réplica que se puede "apagar" para simular una caída
+		DataSource replicaTarget = new DelegatingDataSource(replica) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (replicaDown) {
+					throw new SQLException("replica unreachable");
+				}
+				return super.getConnection();
+			}
+		};
+		DataSource routing = new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primary, replicaTarget, lagMonitor, tracker));
+		jdbcTemplate = new JdbcTemplate(routing);
+		transactionManager = new DataSourceTransactionManager(routing);
+		lagMonitor.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		RequestContextHolder.resetRequestAttributes();
+		primary.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		assertEquals("replica", currentRole(true));
+		assertEquals("primary", currentRole(false));
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		new JdbcTemplate(replica).update("UPDATE replication_status SET lag_seconds = 30");
+		lagMonitor.refresh();
+		assertEquals("primary", currentRole(true));
+
+		new JdbcTemplate(replica).update("UPDATE replication_status SET lag_seconds = 1");
+		lagMonitor.refresh();
+		assertEquals("replica", currentRole(true));
+	}
+
+	@Test
+	void stoppedReplicationFallsBackToPrimary() {
+		new JdbcTemplate(replica).update("UPDATE replication_status SET lag_seconds = NULL");
+		lagMonitor.refresh();
+		assertEquals("primary", currentRole(true));
+	}
+
+	@Test
+	void userReadsOwnWritesFromPrimary() {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("alice", null, null));
+		assertEquals("replica", currentRole(true));
+
+		tracker.recordWrite();
+		assertEquals("primary", currentRole(true));
+
+		// Otros usuarios siguen leyendo de la réplica
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("bob", null, null));
+		assertEquals("replica", currentRole(true));
+	}
+
+	@Test
+	void loginLookupAfterRegisterReadsFromPrimary() {
+		tracker.recordWrite("carol", "carol@example.com");
+		assertEquals("primary", tracker.withSubject("carol@example.com", () -> currentRole(true)));
+		assertEquals("replica", tracker.withSubject("dave", () -> currentRole(true)));
+	}
+
+	@Test
+	void stickinessIgnoresCase() {
+		tracker.recordWrite("Carol", "Carol@Example.com");
+		assertEquals("primary", tracker.withSubject("carol", () -> currentRole(true)));
+		assertEquals("primary", tracker.withSubject("CAROL@example.COM", () -> currentRole(true)));
+	}
+
+	@Test
+	void writeCookieMakesNextRequestStickyOnAnyInstance() {
+		MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+		RequestContextHolder.setRequestAttributes(
+				new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+		tracker.recordWrite("erin");
+		Cookie cookie = writeResponse.getCookie(ReadYourWritesTracker.COOKIE_NAME);
+		assertTrue(cookie != null && cookie.isHttpOnly());
+
+		// Otra instancia: sin registro en memoria, solo la cookie que envía el navegador
+		ReadYourWritesTracker otherInstance = new ReadYourWritesTracker(properties());
+		MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+		nextRequest.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, cookie.getValue()));
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+		assertTrue(otherInstance.isSticky());
+
+		// Una cookie vencida no fuerza el primario
+		nextRequest.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME,
+				Long.toString(System.currentTimeMillis() - 120_000)));
+		assertFalse(otherInstance.isSticky());
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		replicaDown = true;
+		assertEquals("primary", currentRole(true));
+		assertFalse(lagMonitor.isReplicaUsable());
+	}
+
+	// Ejecuta una consulta dentro de una transacción y devuelve qué base de datos respondió
+	private String currentRole(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class));
+	}
+
+	private static ReplicaDataSourceProperties properties() {
+		ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+		properties.setStickyWindowMs(60_000);
+		return properties;
+	}
+
+	private static EmbeddedDatabase embedded(String role) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName(role)
+				.build();
+		JdbcTemplate template = new JdbcTemplate(database);
+		template.execute("CREATE TABLE db_role (name VARCHAR(16))");
+		template.update("INSERT INTO db_role VALUES (?)", role);
+		template.execute("CREATE TABLE replication_status (lag_seconds BIGINT)");
+		template.update("INSERT INTO replication_status VALUES (0)");
+		return database;
+	}
+}
@@ -0,0 +1,152 @@
+package com.mauledji.app.cariss.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.mauledji.app.cariss.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Peticiones completas (MockMvc + JPA) con primario y réplica en dos bases H2 distintas
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:jpa-primary;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create",
+		"app.datasource.replica.url=jdbc:h2:mem:jpa-replica;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+		"app.datasource.replica.driver-class-name=org.h2.Driver",
+		"app.datasource.replica.username=sa",
+		"app.datasource.replica.password=",
+		"app.datasource.replica.lag-query=SELECT 0 AS lag_seconds",
+		"app.datasource.replica.lag-column=lag_seconds",
+		"app.warmup.enabled=false",
+		"app.password.cost=5",
+		"app.password.rehash-tolerance=0"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingJpaTests {
+
+	static final String PASSWORD = "Secret#Passw0rd1";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	JwtUtil jwtUtil;
+
+	@Autowired
+	ReplicaLagMonitor lagMonitor;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	DataSource primaryDataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	DataSource replicaDataSource;
+
+	JdbcTemplate primary;
+	JdbcTemplate replica;
+
+	@BeforeEach
+	void setUp() {
+		primary = new JdbcTemplate(primaryDataSource);
+		replica = new JdbcTemplate(replicaDataSource);
+		// Hibernate crea la tabla solo en el primario; la réplica recibe la misma estructura
+		replica.execute("CREATE TABLE IF NOT EXISTS user (user_id INT AUTO_INCREMENT PRIMARY KEY, "
+				+ "username VARCHAR(255) NOT NULL UNIQUE, user_full_name VARCHAR(255) NOT NULL, "
+				+ "user_email VARCHAR(255) NOT NULL UNIQUE, user_password VARCHAR(255) NOT NULL)");
+		primary.update("DELETE FROM user");
+		replica.update("DELETE FROM user");
+		lagMonitor.refresh();
+	}
+
+	@Test
+	void readOnlyLookupReadsFromReplica() throws Exception {
+		int userId = seed(3, "carla", "Carla");
+		// Solo la réplica tiene este valor: si la respuesta lo trae, la lectura salió de ella
+		replica.update("UPDATE user SET user_full_name = ? WHERE user_id = ?", "Carla (replica)", userId);
+
+		mockMvc.perform(get("/api/v1/users/" + userId)
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken("carla", "Carla")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.userFullName").value("Carla (replica)"));
+	}
+
+	@Test
+	void writeAfterReadInSameRequestGoesToPrimary() throws Exception {
+		int userId = seed(1, "ana", "Ana");
+
+		// El controlador lee el usuario (readOnly, réplica) y después lo actualiza en la misma petición
+		mockMvc.perform(put("/api/v1/users/" + userId)
+						.with(csrf())
+						.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken("ana", "Ana"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"ana\",\"userFullName\":\"Ana María\","
+								+ "\"userEmail\":\"ana@example.com\",\"userPassword\":\"" + PASSWORD + "\"}"))
+				.andExpect(status().isOk());
+
+		assertEquals("Ana María", fullName(primary, userId));
+		assertEquals("Ana", fullName(replica, userId));
+	}
+
+	@Test
+	void passwordRehashOnLoginGoesToPrimary() throws Exception {
+		int userId = seed(2, "beto", "Beto");
+		String legacyHash = passwordHash(replica, userId); // Costo 4, sin prefijo
+
+		// El login busca al usuario en la réplica y rehace el hash (costo 4 -> 5) al verificar la contraseña
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"usernameOrEmail\":\"beto\",\"password\":\"" + PASSWORD + "\"}"))
+				.andExpect(status().isOk());
+
+		assertTrue(passwordHash(primary, userId).startsWith("{bcrypt}$2a$05$"));
+		assertEquals(legacyHash, passwordHash(replica, userId));
+	}
+
+	@Test
+	void replicaPoolFailsFast() {
+		// Una réplica colgada no debe retener las lecturas los 30 s por defecto de Hikari
+		assertEquals(2000, ((HikariDataSource) replicaDataSource).getConnectionTimeout());
+	}
+
+	// Inserta el mismo usuario en ambas bases, como si ya estuviera replicado
+	int seed(int userId, String username, String fullName) {
+		String hash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+		for (JdbcTemplate template : new JdbcTemplate[] { primary, replica }) {
+			template.update("INSERT INTO user (user_id, username, user_full_name, user_email, user_password) "
+					+ "VALUES (?, ?, ?, ?, ?)", userId, username, fullName, username + "@example.com", hash);
+		}
+		return userId;
+	}
+
+	String fullName(JdbcTemplate template, int userId) {
+		return template.queryForObject("SELECT user_full_name FROM user WHERE user_id = ?", String.class, userId);
+	}
+
+	String passwordHash(JdbcTemplate template, int userId) {
+		return template.queryForObject("SELECT user_password FROM user WHERE user_id = ?", String.class, userId);
+	}
+}
@@ -0,0 +1,97 @@
+package com.mauledji.app.cariss.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CalibratedPasswordEncoderTests {
+
+	private static final String PASSWORD = "Secret#Passw0rd";
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void matchesLegacyUnprefixedHashes() {
+		String legacy = new BCryptPasswordEncoder(4).encode(PASSWORD);
+		CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 5, 0, registry);
+
+		assertTrue(encoder.matches(PASSWORD, legacy));
+		assertFalse(encoder.matches("wrong", legacy));
+		assertTrue(encoder.upgradeEncoding(legacy)); // Costo 4 != 5
+	}
+
+	@Test
+	void encodesWithPrefixAndCurrentCost() {
+		CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 5, 0, registry);
+		String hash = encoder.encode(PASSWORD);
+
+		assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+		assertTrue(encoder.matches(PASSWORD, hash));
+		assertFalse(encoder.upgradeEncoding(hash));
+	}
+
+	@Test
+	void upgradesAndDowngradesOutsideTolerance() {
+		String cost4 = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		String cost6 = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(PASSWORD);
+
+		CalibratedPasswordEncoder strict = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 5, 0, registry);
+		assertTrue(strict.upgradeEncoding(cost4));
+		assertTrue(strict.upgradeEncoding(cost6));
+
+		CalibratedPasswordEncoder tolerant = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 5, 1, registry);
+		assertFalse(tolerant.upgradeEncoding(cost4));
+		assertFalse(tolerant.upgradeEncoding(cost6));
+	}
+
+	@Test
+	void switchesAlgorithm() {
+		String bcrypt = new BCryptPasswordEncoder(4).encode(PASSWORD);
+		CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.PBKDF2, 4, 0, registry);
+
+		assertTrue(encoder.upgradeEncoding(bcrypt));
+		String pbkdf2 = encoder.encode(PASSWORD);
+		assertTrue(pbkdf2.startsWith("{" + CalibratedPasswordEncoder.PBKDF2 + "}"));
+		assertTrue(encoder.matches(PASSWORD, pbkdf2));
+		assertTrue(encoder.matches(PASSWORD, bcrypt));
+		assertFalse(encoder.upgradeEncoding(pbkdf2));
+
+		CalibratedPasswordEncoder back = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 4, 0, registry);
+		assertTrue(back.upgradeEncoding(pbkdf2));
+	}
+
+	@Test
+	void rejectsUnknownEncoder() {
+		assertThrows(IllegalArgumentException.class,
+				() -> new CalibratedPasswordEncoder("argon2", 4, 0, registry));
+	}
+
+	@Test
+	void recordsTimerPerParameters() {
+		CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 5, 0, registry);
+		String hash = encoder.encode(PASSWORD);
+		encoder.matches(PASSWORD, hash);
+		encoder.matches(PASSWORD, new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+		assertNotNull(registry.find("cariss.password.hash").tags("operation", "encode", "params", "bcrypt-5").timer());
+		assertEquals(1, registry.get("cariss.password.hash").tags("operation", "matches", "params", "bcrypt-5").timer().count());
+		assertEquals(1, registry.get("cariss.password.hash").tags("operation", "matches", "params", "bcrypt-4").timer().count());
+	}
+
+	@Test
+	void withoutMetricsRecordsNothing() {
+		CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(CalibratedPasswordEncoder.BCRYPT, 4, 0, registry);
+		String hash = encoder.withoutMetrics().encode(PASSWORD);
+
+		assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+		assertTrue(encoder.withoutMetrics().matches(PASSWORD, hash));
+		assertTrue(registry.find("cariss.password.hash").timers().isEmpty());
+	}
+}
@@ -0,0 +1,73 @@
+package com.mauledji.app.cariss.security;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.LongSupplier;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.sun.management.ThreadMXBean;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Comparación de rendimiento entre JwtCodec y el camino anterior con JJWT.
+ * Solo corre bajo demanda: mvn test -Dtest=JwtCodecBenchmarkTests -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtCodecBenchmarkTests {
+
+	private static final int WARMUP_ROUNDS = 50_000;
+	private static final int MEASURED_ROUNDS = 200_000;
+
+	private static final byte[] SECRET = "ZDr7Xt92PKqh6UvTcs49vH2gxYqMNs8Z".getBytes(StandardCharsets.UTF_8);
+
+	private final SecretKey key = Keys.hmacShaKeyFor(SECRET);
+	private final JwtCodec codec = new JwtCodec(SECRET);
+
+	@Test
+	void compareWithJjwt() {
+		long now = System.currentTimeMillis();
+		String token = codec.encode("benchmark", "Bench Mark", now / 1000, now / 1000 + 3600);
+
+		report("encode jjwt", () -> Jwts.builder()
+				.setSubject("benchmark")
+				.claim("fullName", "Bench Mark")
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + 3_600_000))
+				.signWith(key)
+				.compact()
+				.length());
+		report("encode codec", () -> codec.encode("benchmark", "Bench Mark", now / 1000, now / 1000 + 3600).length());
+
+		report("decode jjwt", () -> Jwts.parserBuilder().setSigningKey(key).build()
+				.parseClaimsJws(token).getBody().getSubject().length());
+		report("decode codec", () -> codec.decode(token, now).subject().length());
+	}
+
+	// Mide el tiempo medio por operación y los bytes asignados por operación en el hilo actual
+	private static void report(String name, LongSupplier operation) {
+		long sink = 0;
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			sink += operation.getAsLong();
+		}
+
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().threadId();
+		long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			sink += operation.getAsLong();
+		}
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+		System.out.printf("%-14s %8.0f ns/op %8d B/op (sink %d)%n", name,
+				(double) elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS, sink);
+	}
+}
@@ -0,0 +1,147 @@
+package com.mauledji.app.cariss.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtCodecTests {
+
+	private static final byte[] SECRET = "ZDr7Xt92PKqh6UvTcs49vH2gxYqMNs8Z".getBytes(StandardCharsets.UTF_8);
+	private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET);
+
+	private final JwtCodec codec = new JwtCodec(SECRET);
+
+	@Test
+	void producesSameTokenAsJjwt() {
+		long iat = 1_760_000_000L;
+		long exp = iat + 36_000;
+		for (String fullName : new String[] { "Ana Pérez", "Quote \" and \\ slash", "Tab\tNew\nline", "Emoji 😀" }) {
+			String jjwt = Jwts.builder()
+					.setSubject("ana")
+					.claim("fullName", fullName)
+					.setIssuedAt(new Date(iat * 1000))
+					.setExpiration(new Date(exp * 1000))
+					.signWith(KEY)
+					.compact();
+			assertEquals(jjwt, codec.encode("ana", fullName, iat, exp));
+		}
+	}
+
+	@Test
+	void decodesJjwtTokens() {
+		long now = System.currentTimeMillis();
+		String token = Jwts.builder()
+				.setSubject("ana")
+				.claim("fullName", "Ana \"La\" Pérez \u0001")
+				.claim("roles", new String[] { "a", "b" })
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + 60_000))
+				.signWith(KEY)
+				.compact();
+
+		JwtCodec.DecodedToken decoded = codec.decode(token, now);
+		assertNotNull(decoded);
+		assertEquals("ana", decoded.subject());
+		assertEquals("Ana \"La\" Pérez \u0001", decoded.fullName());
+		assertEquals((now + 60_000) / 1000, decoded.expiresAt());
+	}
+
+	@Test
+	void jjwtAcceptsCodecTokens() {
+		long now = System.currentTimeMillis() / 1000;
+		String token = codec.encode("ana", "Ana Pérez", now, now + 60);
+
+		Claims claims = Jwts.parserBuilder().setSigningKey(KEY).build().parseClaimsJws(token).getBody();
+		assertEquals("ana", claims.getSubject());
+		assertEquals("Ana Pérez", claims.get("fullName", String.class));
+	}
+
+	@Test
+	void rejectsExpiredTokens() {
+		long now = System.currentTimeMillis();
+		String token = codec.encode("ana", "Ana", now / 1000 - 120, now / 1000 - 60);
+		assertNull(codec.decode(token, now));
+	}
+
+	@Test
+	void rejectsTokensNotYetValid() {
+		long now = System.currentTimeMillis();
+		String token = Jwts.builder()
+				.setSubject("ana")
+				.setNotBefore(new Date(now + 60_000))
+				.setExpiration(new Date(now + 120_000))
+				.signWith(KEY)
+				.compact();
+		assertNull(codec.decode(token, now));
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		long now = System.currentTimeMillis();
+		String token = codec.encode("ana", "Ana", now / 1000, now / 1000 + 60);
+		String[] parts = token.split("\\.");
+
+		String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+				("{\"sub\":\"admin\",\"exp\":" + (now / 1000 + 60) + "}").getBytes(StandardCharsets.UTF_8));
+		assertNull(codec.decode(parts[0] + "." + forgedPayload + "." + parts[2], now));
+		assertNull(codec.decode(parts[0] + "." + parts[1] + "." + parts[2].substring(1), now));
+		assertNull(codec.decode(parts[0] + "." + parts[1] + ".", now));
+		assertNull(codec.decode(token + ".extra", now));
+		assertNull(codec.decode("garbage", now));
+	}
+
+	@Test
+	void rejectsUnsignedTokens() {
+		long now = System.currentTimeMillis();
+		String token = Jwts.builder()
+				.setSubject("admin")
+				.setExpiration(new Date(now + 60_000))
+				.compact();
+		assertNull(codec.decode(token, now));
+	}
+
+	@Test
+	void rejectsTokensSignedWithAnotherKey() {
+		long now = System.currentTimeMillis() / 1000;
+		JwtCodec other = new JwtCodec("another-secret-that-is-32-bytes!".getBytes(StandardCharsets.UTF_8));
+		assertNull(codec.decode(other.encode("ana", "Ana", now, now + 60), now * 1000));
+	}
+
+	@Test
+	void rejectsMalformedSignedPayloads() throws Exception {
+		long now = System.currentTimeMillis();
+		long exp = now / 1000 + 60;
+		// Firmados con la clave correcta: el decodificador debe rechazarlos en vez de lanzar una excepción
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"fullName\":\"A\\u00\"}"), now));
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"fullName\":\"A\\u"), now));
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"exp\":99999999999999999999}"), now));
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"exp\":9223372036854775807}"), now));
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"exp\":" + exp + ",\"nbf\":9223372036854775807}"), now));
+		assertNull(codec.decode(signed("{\"sub\":\"ana\",\"exp\":" + exp), now));
+		assertNotNull(codec.decode(signed("{\"sub\":\"ana\",\"exp\":" + exp + "}"), now));
+	}
+
+	// Firma un payload arbitrario con la misma cabecera y clave que el codec
+	private String signed(String payloadJson) throws Exception {
+		String header = codec.encode("x", "x", 0, 1).split("\\.")[0];
+		String payload = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8));
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(KEY);
+		byte[] signature = mac.doFinal((header + "." + payload).getBytes(StandardCharsets.US_ASCII));
+		return header + "." + payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+	}
+}
@@ -0,0 +1,56 @@
+package com.mauledji.app.cariss.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Los nombres escritos dentro de una transacción entran al índice solo cuando se confirma
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:availability;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create",
+		"app.warmup.enabled=false",
+		"app.password.cost=4"
+})
+class UserAvailabilityIndexTests {
+
+	@Autowired
+	UserAvailabilityIndex index;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	void addIsAppliedAfterCommit() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			index.add("committed.user", "committed@example.com");
+			assertFalse(index.mightContainUsername("committed.user"));
+		});
+		assertTrue(index.mightContainUsername("Committed.User"));
+		assertTrue(index.mightContainEmail("committed@example.com"));
+	}
+
+	@Test
+	void addIsDiscardedOnRollback() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			index.add("rolled.back", "rolled.back@example.com");
+			status.setRollbackOnly();
+		});
+		assertFalse(index.mightContainUsername("rolled.back"));
+		assertFalse(index.mightContainEmail("rolled.back@example.com"));
+	}
+
+	@Test
+	void addOutsideTransactionIsImmediate() {
+		index.add("direct.user", null);
+		assertTrue(index.mightContainUsername("direct.user"));
+	}
+}
@@ -0,0 +1,45 @@
+// Genera variantes .gz y .br de los archivos del build para que el backend las sirva sin comprimir en cada petición
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const COMPRESSIBLE = /\.(js|css|html|json|map|svg|txt|ico)$/; // Las imágenes PNG/JPG ya vienen comprimidas
+const MIN_SIZE = 256; // Archivos muy pequeños no ganan nada al comprimirse
+
+// Recorre el directorio del build y devuelve todos los archivos
+const listFiles = (dir) => fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const fullPath = path.join(dir, entry.name);
+    return entry.isDirectory() ? listFiles(fullPath) : [fullPath];
+});
+
+// Escribe la variante solo si es más pequeña que el original
+const writeVariant = (file, original, compressed, extension) => {
+    if (compressed.length < original.length) {
+        fs.writeFileSync(file + extension, compressed);
+        return compressed.length;
+    }
+    return original.length;
+};
+
+let totalOriginal = 0;
+let totalBrotli = 0;
+for (const file of listFiles(BUILD_DIR)) {
+    if (!COMPRESSIBLE.test(file)) continue;
+    const original = fs.readFileSync(file);
+    if (original.length < MIN_SIZE) continue;
+
+    const gzip = zlib.gzipSync(original, { level: zlib.constants.Z_BEST_COMPRESSION });
+    const brotli = zlib.brotliCompressSync(original, {
+        params: {
+            [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+            [zlib.constants.BROTLI_PARAM_SIZE_HINT]: original.length
+        }
+    });
+
+    writeVariant(file, original, gzip, '.gz');
+    totalOriginal += original.length;
+    totalBrotli += writeVariant(file, original, brotli, '.br');
+}
+
+console.log(`Precompressed build: ${totalOriginal} bytes -> ${totalBrotli} bytes with Brotli`);
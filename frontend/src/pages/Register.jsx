@@ -1,6 +1,8 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate, Link } from 'react-router-dom';
-import { register, isAuthenticated } from '../services/authService';
+import { register, isAuthenticated, checkAvailability } from '../services/authService';
+
+const AVAILABILITY_DELAY_MS = 400; // Espera a que el usuario deje de escribir antes de consultar
 
 export default function RegisterPage() {
     const [formData, setFormData] = useState({
@@ -11,6 +13,8 @@ export default function RegisterPage() {
     });
     const [error, setError] = useState('');
     const [successMessage, setSuccessMessage] = useState('');
+    const [usernameTaken, setUsernameTaken] = useState(false);
+    const [emailTaken, setEmailTaken] = useState(false);
     const navigate = useNavigate();
 
     useEffect(() => {
@@ -20,6 +24,36 @@ export default function RegisterPage() {
         }
     }, [navigate]);
 
+    // Consulta (con debounce) si el username ya está en uso
+    useEffect(() => {
+        setUsernameTaken(false);
+        if (!formData.username) return;
+        let cancelled = false;
+        const timer = setTimeout(async () => {
+            const result = await checkAvailability({ username: formData.username });
+            if (!cancelled) setUsernameTaken(result.username === false);
+        }, AVAILABILITY_DELAY_MS);
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
+        };
+    }, [formData.username]);
+
+    // Consulta (con debounce) si el email ya está en uso
+    useEffect(() => {
+        setEmailTaken(false);
+        if (!formData.userEmail) return;
+        let cancelled = false;
+        const timer = setTimeout(async () => {
+            const result = await checkAvailability({ email: formData.userEmail });
+            if (!cancelled) setEmailTaken(result.email === false);
+        }, AVAILABILITY_DELAY_MS);
+        return () => {
+            cancelled = true;
+            clearTimeout(timer);
+        };
+    }, [formData.userEmail]);
+
     const handleChange = (e) => {
         const { name, value } = e.target;
         setFormData(prev => ({
@@ -57,6 +91,7 @@ export default function RegisterPage() {
                         onChange={handleChange}
                         required
                     />
+                    {usernameTaken && <p className="field-hint">Username already exists</p>}
                 </div>
                 <div className="form-group">
                     <input
@@ -77,6 +112,7 @@ export default function RegisterPage() {
                         onChange={handleChange}
                         required
                     />
+                    {emailTaken && <p className="field-hint">Email already exists</p>}
                 </div>
                 <div className="form-group">
                     <input
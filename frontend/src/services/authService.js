@@ -83,6 +83,19 @@ export const login = async (usernameOrEmail, password) => {
     }
 };
 
+// Consulta si un username y/o email están libres (respuesta: { username: true/false, email: true/false })
+export const checkAvailability = async ({ username, email }) => {
+    const params = new URLSearchParams();
+    if (username) params.append("username", username);
+    if (email) params.append("email", email);
+    try {
+        const response = await fetch(`/api/auth/availability?${params}`);
+        return response.ok ? await response.json() : {}; // Si falla (p. ej. 429) no se muestra nada
+    } catch (err) {
+        return {};
+    }
+};
+
 // Intenta registrar un nuevo usuario con los datos proporcionados
 export const register = async (userData) => {
     try {